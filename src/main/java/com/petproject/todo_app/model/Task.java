@@ -1,6 +1,7 @@
 package com.petproject.todo_app.model;
 
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,6 +29,13 @@ public class Task {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "due_notified_at")
+    private LocalDateTime dueNotifiedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -36,4 +44,11 @@ public class Task {
     public Task(String description) {
         this.description = description;
     }
+
+    public Task(Long id, String description, Boolean completed, LocalDateTime createdAt) {
+        this.id = id;
+        this.description = description;
+        this.completed = completed;
+        this.createdAt = createdAt;
+    }
 }
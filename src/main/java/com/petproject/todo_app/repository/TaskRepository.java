@@ -1,7 +1,49 @@
 package com.petproject.todo_app.repository;
 
 import com.petproject.todo_app.model.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
+
+    /**
+     * Keyset page over open, not yet notified tasks ordered by {@code (dueAt, id)}.
+     * {@code dueAt >= :afterDueAt} gives the index a range start, see idx_tasks_due_pending in schema.sql.
+     */
+    @Query("""
+            select t.id as id, t.dueAt as dueAt from Task t
+            where t.completed = false and t.dueNotifiedAt is null
+              and t.dueAt >= :afterDueAt and t.dueAt <= :until
+              and (t.dueAt > :afterDueAt or t.id > :afterId)
+            order by t.dueAt, t.id
+            """)
+    List<DueTask> findPendingDue(@Param("afterDueAt") LocalDateTime afterDueAt,
+                                 @Param("afterId") Long afterId,
+                                 @Param("until") LocalDateTime until,
+                                 Pageable pageable);
+
+    /**
+     * Marks the tasks as notified if they are still open and due, returns the number of updated rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Task t set t.dueNotifiedAt = :now
+            where t.id in :ids and t.completed = false and t.dueNotifiedAt is null and t.dueAt <= :now
+            """)
+    int markDueNotified(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    interface DueTask {
+        Long getId();
+
+        LocalDateTime getDueAt();
+    }
 }
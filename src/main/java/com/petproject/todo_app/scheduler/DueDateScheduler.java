@@ -0,0 +1,292 @@
+package com.petproject.todo_app.scheduler;
+
+import com.petproject.todo_app.model.Task;
+import com.petproject.todo_app.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires {@link TaskDueEvent} when open tasks pass their due date.
+ * <p>
+ * Only tasks due before {@code scheduledUntil} (now + horizon) are kept in the {@link TimingWheel};
+ * the window is refilled from the due_at index in keyset pages, and {@link com.petproject.todo_app.service.TaskService}
+ * keeps it in sync on create, update and delete. A fired task is stamped with {@code dueNotifiedAt},
+ * so after a restart only tasks that are still pending are loaded and overdue ones fire right away.
+ * <p>
+ * Writes, refills and stale reads reach the wheel in no guaranteed order, so a timer is only ever moved
+ * earlier and never cancelled by a write: its deadline stays a lower bound of the task's pending due date.
+ * A timer that fires early finds the row not yet due and is armed again with the stored due date.
+ * <p>
+ * Expired timers are fired in batches of {@code batchSize}: the rows are read without locks, events of the
+ * due ones are published synchronously outside any transaction, and only tasks whose listeners succeeded are
+ * stamped afterwards with one guarded UPDATE. A crash before the stamp re-delivers the event, so delivery is
+ * at least once and listeners must be idempotent; the task may also change while its listeners run, so
+ * listeners that act on it should re-read it. A failing listener is retried with exponential backoff and
+ * dropped after {@value #MAX_LISTENER_ATTEMPTS} attempts, until the next restart loads it again. If the
+ * repository fails, the rest of the tick is re-armed as a whole with backoff.
+ */
+@Slf4j
+@Component
+public class DueDateScheduler {
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_LEVELS = 4;
+    private static final long RETRY_DELAY_MS = 5_000;
+    private static final long MAX_REPOSITORY_RETRY_DELAY_MS = 60_000;
+    private static final int MAX_LISTENER_ATTEMPTS = 5;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final long tickMs;
+    private final Duration horizon;
+    private final int batchSize;
+    private final TimingWheel<Long> wheel;
+
+    // Upper bound of the loaded window, null until the first refill.
+    private volatile LocalDateTime scheduledUntil;
+    // Listener failures per task and consecutive repository failures, touched by the tick thread only.
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+    private int repositoryFailures;
+    private ScheduledExecutorService refillExecutor;
+    private ScheduledExecutorService tickExecutor;
+
+    @Autowired
+    public DueDateScheduler(TaskRepository taskRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${todo.due-dates.tick-ms:100}") long tickMs,
+                            @Value("${todo.due-dates.horizon:PT10M}") Duration horizon,
+                            @Value("${todo.due-dates.batch-size:1000}") int batchSize) {
+        this(taskRepository, eventPublisher, Clock.systemDefaultZone(), tickMs, horizon, batchSize);
+    }
+
+    DueDateScheduler(TaskRepository taskRepository,
+                     ApplicationEventPublisher eventPublisher,
+                     Clock clock,
+                     long tickMs,
+                     Duration horizon,
+                     int batchSize) {
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.tickMs = tickMs;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_BITS, WHEEL_LEVELS, clock.millis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refillExecutor = Executors.newSingleThreadScheduledExecutor(daemon("due-date-refill"));
+        tickExecutor = Executors.newSingleThreadScheduledExecutor(daemon("due-date-tick"));
+        long refillMs = Math.max(horizon.toMillis() / 2, tickMs);
+        refillExecutor.scheduleWithFixedDelay(this::refill, 0, refillMs, TimeUnit.MILLISECONDS);
+        tickExecutor.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refillExecutor != null) {
+            refillExecutor.shutdownNow();
+        }
+        if (tickExecutor != null) {
+            tickExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Arms the timer of a saved task once the surrounding transaction commits. Timers of tasks that are
+     * no longer pending are left in place, firing them re-reads the row and drops them.
+     */
+    public void schedule(Task task) {
+        if (isPending(task)) {
+            Long id = task.getId();
+            LocalDateTime dueAt = task.getDueAt();
+            afterCommit(() -> arm(id, dueAt));
+        }
+    }
+
+    /**
+     * Drops the timer of a deleted task, ids are never reused so this can't race with a newer write.
+     */
+    public void cancel(Long id) {
+        afterCommit(() -> {
+            synchronized (wheel) {
+                wheel.cancel(id);
+            }
+        });
+    }
+
+    public int pendingTimers() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    void refill() {
+        LocalDateTime from = scheduledUntil;
+        LocalDateTime until = LocalDateTime.now(clock).plus(horizon);
+        // Publish the new bound before reading, so writes committed meanwhile go straight to the wheel.
+        scheduledUntil = until;
+        LocalDateTime afterDueAt = from != null ? from : EPOCH;
+        long afterId = from != null ? Long.MAX_VALUE : 0L;
+        try {
+            List<TaskRepository.DueTask> batch;
+            do {
+                batch = taskRepository.findPendingDue(afterDueAt, afterId, until, PageRequest.ofSize(batchSize));
+                synchronized (wheel) {
+                    for (TaskRepository.DueTask task : batch) {
+                        wheel.scheduleIfEarlier(task.getId(), toMillis(task.getDueAt()));
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    TaskRepository.DueTask last = batch.get(batch.size() - 1);
+                    afterDueAt = last.getDueAt();
+                    afterId = last.getId();
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            scheduledUntil = from;
+            log.error("Failed to load due tasks up to {}", until, e);
+        }
+    }
+
+    void tick() {
+        List<TimingWheel.Expired<Long>> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(clock.millis());
+        }
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Long> ids = expired.subList(from, Math.min(from + batchSize, expired.size())).stream()
+                    .map(TimingWheel.Expired::key)
+                    .toList();
+            try {
+                fire(ids);
+                repositoryFailures = 0;
+            } catch (RuntimeException e) {
+                // The database is unavailable: re-arm the rest of this tick once instead of trying id by id.
+                long delayMs = backoff(RETRY_DELAY_MS, repositoryFailures++, MAX_REPOSITORY_RETRY_DELAY_MS);
+                log.error("Failed to fire {} due dates, retrying in {} ms", expired.size() - from, delayMs, e);
+                rearm(expired.subList(from, expired.size()).stream().map(TimingWheel.Expired::key).toList(), delayMs);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publishes the due tasks among {@code ids}, then stamps those whose listeners succeeded.
+     * No transaction or row lock is held while listeners run.
+     */
+    private void fire(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Long> delivered = new ArrayList<>();
+        for (Task task : taskRepository.findAllById(ids)) {
+            if (!isPending(task) || task.getDueAt().isAfter(now)) {
+                // Completed, notified and deleted tasks are dropped, moved due dates are armed again.
+                failedAttempts.remove(task.getId());
+                if (isPending(task)) {
+                    arm(task.getId(), task.getDueAt());
+                }
+                continue;
+            }
+            try {
+                eventPublisher.publishEvent(new TaskDueEvent(task.getId(), task.getDueAt()));
+                delivered.add(task.getId());
+            } catch (RuntimeException e) {
+                retryListener(task.getId(), e);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            taskRepository.markDueNotified(delivered, now);
+            delivered.forEach(failedAttempts::remove);
+        }
+    }
+
+    private void retryListener(Long id, RuntimeException e) {
+        int attempt = failedAttempts.merge(id, 1, Integer::sum);
+        if (attempt >= MAX_LISTENER_ATTEMPTS) {
+            failedAttempts.remove(id);
+            log.error("Giving up on due date of task {} after {} failed attempts", id, attempt, e);
+            return;
+        }
+        long delayMs = backoff(RETRY_DELAY_MS, attempt - 1, Long.MAX_VALUE);
+        log.warn("Listener failed for due date of task {}, attempt {}, retrying in {} ms: {}", id, attempt, delayMs,
+                e.toString());
+        rearm(List.of(id), delayMs);
+    }
+
+    private void rearm(List<Long> ids, long delayMs) {
+        long deadlineMs = clock.millis() + delayMs;
+        synchronized (wheel) {
+            for (Long id : ids) {
+                wheel.scheduleIfEarlier(id, deadlineMs);
+            }
+        }
+    }
+
+    private static long backoff(long baseMs, int failures, long maxMs) {
+        return Math.min(baseMs << Math.min(failures, 20), maxMs);
+    }
+
+    private void arm(Long id, LocalDateTime dueAt) {
+        LocalDateTime until = scheduledUntil;
+        if (until == null || dueAt.isAfter(until)) {
+            // Outside the loaded window, a later refill() reads it from the index.
+            return;
+        }
+        synchronized (wheel) {
+            wheel.scheduleIfEarlier(id, toMillis(dueAt));
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static boolean isPending(Task task) {
+        return task.getDueAt() != null && !Boolean.TRUE.equals(task.getCompleted()) && task.getDueNotifiedAt() == null;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,10 @@
+package com.petproject.todo_app.scheduler;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published in-process when an open task reaches its due date. Delivery is at least once, so listeners
+ * must be idempotent.
+ */
+public record TaskDueEvent(Long taskId, LocalDateTime dueAt) {
+}
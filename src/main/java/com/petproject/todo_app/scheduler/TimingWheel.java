@@ -0,0 +1,213 @@
+package com.petproject.todo_app.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: each level has {@code 2^wheelBits} slots, a slot on level {@code n}
+ * covers {@code 2^(wheelBits * n)} ticks. Timers live in intrusive doubly-linked lists, so
+ * schedule and cancel are O(1); a timer is moved to a lower level when its slot is cascaded.
+ * <p>
+ * Not thread-safe, callers synchronize on the instance.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelBits;
+    private final long mask;
+    private final long capacity;
+    private final Bucket<K>[][] levels;
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+
+    // Next tick that advance() has to process.
+    private long nextTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMs, int wheelBits, int levelCount, long startMs) {
+        if (tickMs <= 0 || wheelBits <= 0 || levelCount <= 0 || (long) wheelBits * levelCount > 62) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMs = tickMs;
+        this.wheelBits = wheelBits;
+        this.mask = (1L << wheelBits) - 1;
+        this.capacity = 1L << (wheelBits * levelCount);
+        this.levels = new Bucket[levelCount][1 << wheelBits];
+        for (Bucket<K>[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Bucket<>();
+            }
+        }
+        this.nextTick = Math.floorDiv(startMs, tickMs);
+    }
+
+    /**
+     * Schedules {@code key} to expire at {@code deadlineMs}, replacing its previous deadline if any.
+     */
+    public void schedule(K key, long deadlineMs) {
+        Timer<K> timer = timers.get(key);
+        if (timer == null) {
+            timer = new Timer<>(key);
+            timers.put(key, timer);
+        } else {
+            timer.bucket.remove(timer);
+        }
+        timer.deadlineMs = deadlineMs;
+        timer.deadlineTick = Math.floorDiv(deadlineMs + tickMs - 1, tickMs);
+        place(timer);
+    }
+
+    /**
+     * Schedules {@code key} unless it already has a pending timer with an earlier or equal deadline.
+     *
+     * @return {@code true} if the timer was added or moved earlier
+     */
+    public boolean scheduleIfEarlier(K key, long deadlineMs) {
+        Timer<K> timer = timers.get(key);
+        if (timer != null && timer.deadlineMs <= deadlineMs) {
+            return false;
+        }
+        schedule(key, deadlineMs);
+        return true;
+    }
+
+    public boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs} and returns every timer whose deadline has passed,
+     * in tick order. Expired timers are removed from the wheel.
+     */
+    public List<Expired<K>> advance(long nowMs) {
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        List<Expired<K>> expired = new ArrayList<>();
+        if (timers.isEmpty()) {
+            nextTick = Math.max(nextTick, targetTick + 1);
+            return expired;
+        }
+        while (nextTick <= targetTick) {
+            long tick = nextTick;
+            int index = (int) (tick & mask);
+            if (index == 0) {
+                cascade(tick);
+            }
+            Timer<K> timer = levels[0][index].drain();
+            nextTick++;
+            while (timer != null) {
+                Timer<K> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                if (timer.deadlineTick > tick) {
+                    // Deadline was beyond the wheel capacity, keep it spinning.
+                    place(timer);
+                } else {
+                    timers.remove(timer.key);
+                    timer.bucket = null;
+                    expired.add(new Expired<>(timer.key, timer.deadlineMs));
+                }
+                timer = next;
+            }
+        }
+        return expired;
+    }
+
+    private void cascade(long tick) {
+        for (int level = 1; level < levels.length; level++) {
+            int index = (int) ((tick >>> (wheelBits * level)) & mask);
+            Timer<K> timer = levels[level][index].drain();
+            while (timer != null) {
+                Timer<K> next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                place(timer);
+                timer = next;
+            }
+            if (index != 0) {
+                break;
+            }
+        }
+    }
+
+    private void place(Timer<K> timer) {
+        long deadline = timer.deadlineTick;
+        long delta = deadline - nextTick;
+        if (delta < 0) {
+            levels[0][(int) (nextTick & mask)].add(timer);
+            return;
+        }
+        if (delta >= capacity) {
+            deadline = nextTick + capacity - 1;
+            delta = capacity - 1;
+        }
+        int level = 0;
+        while (level < levels.length - 1 && delta >= 1L << (wheelBits * (level + 1))) {
+            level++;
+        }
+        levels[level][(int) ((deadline >>> (wheelBits * level)) & mask)].add(timer);
+    }
+
+    public record Expired<K>(K key, long deadlineMs) {
+    }
+
+    private static final class Timer<K> {
+        private final K key;
+        private long deadlineMs;
+        private long deadlineTick;
+        private Timer<K> prev;
+        private Timer<K> next;
+        private Bucket<K> bucket;
+
+        private Timer(K key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Bucket<K> {
+        private Timer<K> head;
+
+        private void add(Timer<K> timer) {
+            timer.bucket = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        private void remove(Timer<K> timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.bucket = null;
+        }
+
+        private Timer<K> drain() {
+            Timer<K> first = head;
+            head = null;
+            return first;
+        }
+    }
+}
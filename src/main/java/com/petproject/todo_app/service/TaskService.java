@@ -2,17 +2,20 @@ package com.petproject.todo_app.service;
 
 import com.petproject.todo_app.model.Task;
 import com.petproject.todo_app.repository.TaskRepository;
+import com.petproject.todo_app.scheduler.DueDateScheduler;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
     private final TaskRepository taskRepository;
+    private final DueDateScheduler dueDateScheduler;
 
     @Transactional(readOnly = true)
     public List<Task> getAllTasks() {
@@ -26,7 +29,9 @@ public class TaskService {
 
     @Transactional
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        Task savedTask = taskRepository.save(task);
+        dueDateScheduler.schedule(savedTask);
+        return savedTask;
     }
 
     @Transactional
@@ -36,7 +41,13 @@ public class TaskService {
             Task existingTask = optionalTask.get();
             existingTask.setDescription(taskDetails.getDescription());
             existingTask.setCompleted(taskDetails.getCompleted());
-            return Optional.of(taskRepository.save(existingTask));
+            if (!Objects.equals(existingTask.getDueAt(), taskDetails.getDueAt())) {
+                existingTask.setDueAt(taskDetails.getDueAt());
+                existingTask.setDueNotifiedAt(null);
+            }
+            Task savedTask = taskRepository.save(existingTask);
+            dueDateScheduler.schedule(savedTask);
+            return Optional.of(savedTask);
         } else {
             return Optional.empty();
         }
@@ -46,6 +57,7 @@ public class TaskService {
     public boolean deleteTask(Long id) {
         if (taskRepository.existsById(id)) {
             taskRepository.deleteById(id);
+            dueDateScheduler.cancel(id);
             return true;
         } else {
             return false;
@@ -0,0 +1,8 @@
+-- Runs after Hibernate's ddl-auto=update (spring.jpa.defer-datasource-initialization),
+-- for what the JPA mapping can't express.
+
+-- The only due date index, serving DueDateScheduler.refill(). Completed and notified tasks are never read
+-- again, so they are left out and a restart doesn't walk the whole due date history.
+CREATE INDEX IF NOT EXISTS idx_tasks_due_pending
+    ON tasks (due_at, id)
+    WHERE completed = false AND due_notified_at IS NULL;
@@ -0,0 +1,204 @@
+package com.petproject.todo_app.scheduler;
+
+import com.petproject.todo_app.model.Task;
+import com.petproject.todo_app.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Scheduling throughput and firing accuracy with 1M pending due dates, through the shipped firing path:
+ * {@link DueDateScheduler} with its default tick, batched stamping and a repository stub that charges
+ * a simulated database round trip per call.
+ * Run with {@code mvn test -Dtest=DueDateSchedulerBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DueDateSchedulerBenchmarkTest {
+
+    private static final int TASKS = 1_000_000;
+    // Tasks sharing one due date, like everything due at 09:00.
+    private static final int BURST = TASKS / 10;
+    private static final long TICK_MS = 100;
+    private static final int BATCH_SIZE = 1000;
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Test
+    void bareWheelSchedulingThroughput() {
+        long start = System.currentTimeMillis();
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK_MS, 8, 4, start);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] deadlines = new long[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            deadlines[i] = start + 1_000 + random.nextLong(600_000);
+        }
+
+        long scheduleStart = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            wheel.schedule((long) i, deadlines[i]);
+        }
+        long scheduleNanos = System.nanoTime() - scheduleStart;
+
+        // Cancel and re-arm every 10th timer, as updates of due dates would.
+        long rescheduleStart = System.nanoTime();
+        for (int i = 0; i < TASKS; i += 10) {
+            wheel.cancel((long) i);
+            wheel.schedule((long) i, deadlines[i]);
+        }
+        long rescheduleNanos = System.nanoTime() - rescheduleStart;
+
+        System.out.printf("wheel schedule: %,d timers in %d ms (%,.0f ops/s)%n",
+                TASKS, TimeUnit.NANOSECONDS.toMillis(scheduleNanos), TASKS * 1e9 / scheduleNanos);
+        System.out.printf("wheel cancel + schedule: %,d timers in %d ms (%,.0f ops/s)%n",
+                TASKS / 10, TimeUnit.NANOSECONDS.toMillis(rescheduleNanos), TASKS / 10 * 1e9 / rescheduleNanos);
+        assertThat(wheel.size()).isEqualTo(TASKS);
+    }
+
+    @Test
+    void fireOneMillionDueDatesThroughScheduler() {
+        long start = System.currentTimeMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Sorted, so that task id = index + 1 follows the (dueAt, id) order of the index.
+        long[] dueMs = new long[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            dueMs[i] = i < BURST ? start + 20_000 : start + 5_000 + random.nextLong(30_000);
+        }
+        Arrays.sort(dueMs);
+        boolean[] notified = new boolean[TASKS];
+
+        long[] lateness = new long[TASKS];
+        AtomicInteger fired = new AtomicInteger();
+        // Events are published from the single tick thread, the counter only publishes the writes.
+        ApplicationEventPublisher publisher = event -> {
+            lateness[fired.get()] = System.currentTimeMillis() - toMillis(((TaskDueEvent) event).dueAt());
+            fired.incrementAndGet();
+        };
+        DueDateScheduler scheduler = new DueDateScheduler(stubRepository(dueMs, notified), publisher,
+                Clock.systemUTC(), TICK_MS, Duration.ofMinutes(10), BATCH_SIZE);
+
+        long refillStart = System.nanoTime();
+        scheduler.refill();
+        long refillNanos = System.nanoTime() - refillStart;
+        assertThat(scheduler.pendingTimers()).isEqualTo(TASKS);
+
+        scheduler.start();
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (fired.get() < TASKS && System.currentTimeMillis() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        scheduler.stop();
+        assertThat(fired.get()).isEqualTo(TASKS);
+        Arrays.sort(lateness);
+
+        System.out.printf("refill: %,d due dates loaded in %d ms (%,.0f timers/s, %d ms per round trip)%n",
+                TASKS, TimeUnit.NANOSECONDS.toMillis(refillNanos), TASKS * 1e9 / refillNanos,
+                TimeUnit.NANOSECONDS.toMillis(ROUND_TRIP_NANOS));
+        System.out.printf("firing lateness (tick %d ms, batch %d, burst %,d): p50=%d ms, p99=%d ms, p99.9=%d ms, max=%d ms%n",
+                TICK_MS, BATCH_SIZE, BURST, lateness[TASKS / 2], lateness[TASKS * 99 / 100],
+                lateness[TASKS * 999 / 1000], lateness[TASKS - 1]);
+        assertThat(lateness[0]).isGreaterThanOrEqualTo(0);
+    }
+
+    private static TaskRepository stubRepository(long[] dueMs, boolean[] notified) {
+        TaskRepository repository = mock(TaskRepository.class);
+        when(repository.findPendingDue(any(), anyLong(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+            roundTrip();
+            long afterDueAt = toMillis(invocation.getArgument(0));
+            long afterId = invocation.getArgument(1);
+            long until = toMillis(invocation.getArgument(2));
+            int pageSize = invocation.<Pageable>getArgument(3).getPageSize();
+            // Ids of equal due dates are consecutive indexes, the keyset resumes at index afterId.
+            int from = (int) Math.min(Math.max(bound(dueMs, afterDueAt, false), afterId), bound(dueMs, afterDueAt, true));
+            List<TaskRepository.DueTask> page = new ArrayList<>();
+            for (int i = from; i < dueMs.length && page.size() < pageSize && dueMs[i] <= until; i++) {
+                if (!notified[i]) {
+                    page.add(dueTask(i + 1L, toLocalDateTime(dueMs[i])));
+                }
+            }
+            return page;
+        });
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            roundTrip();
+            Collection<Long> ids = invocation.getArgument(0);
+            List<Task> tasks = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                int index = (int) (id - 1);
+                Task task = new Task(id, "Task " + id, false, null);
+                task.setDueAt(toLocalDateTime(dueMs[index]));
+                task.setDueNotifiedAt(notified[index] ? toLocalDateTime(dueMs[index]) : null);
+                tasks.add(task);
+            }
+            return tasks;
+        });
+        when(repository.markDueNotified(anyCollection(), any())).thenAnswer(invocation -> {
+            roundTrip();
+            Collection<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> notified[(int) (id - 1)] = true);
+            return ids.size();
+        });
+        return repository;
+    }
+
+    private static void roundTrip() {
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+    }
+
+    // First index with dueMs >= value, or > value when upper is set.
+    private static int bound(long[] dueMs, long value, boolean upper) {
+        int low = 0;
+        int high = dueMs.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dueMs[mid] < value || (upper && dueMs[mid] == value)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static TaskRepository.DueTask dueTask(Long id, LocalDateTime dueAt) {
+        return new TaskRepository.DueTask() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDueAt() {
+                return dueAt;
+            }
+        };
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
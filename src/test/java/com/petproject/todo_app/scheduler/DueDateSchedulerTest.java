@@ -0,0 +1,367 @@
+package com.petproject.todo_app.scheduler;
+
+import com.petproject.todo_app.model.Task;
+import com.petproject.todo_app.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DueDateSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MutableClock clock;
+    private DueDateScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW.toInstant(ZoneOffset.UTC));
+        scheduler = new DueDateScheduler(taskRepository, eventPublisher, clock, 100, Duration.ofMinutes(10), 2);
+    }
+
+    @Test
+    void refill_shouldLoadOverdueTasksInPagesAndFireThemAfterRestart() {
+        // Arrange: две страницы по 2 записи, одна задача просрочена, пока приложение было остановлено
+        LocalDateTime overdue = NOW.minusHours(1);
+        LocalDateTime soon = NOW.plusMinutes(1);
+        when(taskRepository.findPendingDue(any(), anyLong(), eq(NOW.plusMinutes(10)), any(Pageable.class)))
+                .thenReturn(List.of(dueTask(1L, overdue), dueTask(2L, soon)))
+                .thenReturn(List.of(dueTask(3L, soon)));
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(task(1L, overdue)));
+
+        // Act
+        scheduler.refill();
+        clock.advance(Duration.ofMillis(100));
+        scheduler.tick();
+
+        // Assert
+        verify(taskRepository).findPendingDue(eq(EPOCH), eq(0L), any(), any());
+        verify(taskRepository).findPendingDue(eq(soon), eq(2L), any(), any());
+        verify(taskRepository).markDueNotified(eq(List.of(1L)), any());
+        verify(eventPublisher).publishEvent(new TaskDueEvent(1L, overdue));
+        assertThat(scheduler.pendingTimers()).isEqualTo(2);
+    }
+
+    @Test
+    void tick_shouldStampAllTasksDueInTheSameTickInOneBatch() {
+        // Arrange: три задачи с одним сроком, размер пачки 2
+        LocalDateTime dueAt = NOW.plusSeconds(1);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class)))
+                .thenReturn(List.of(dueTask(1L, dueAt), dueTask(2L, dueAt)))
+                .thenReturn(List.of(dueTask(3L, dueAt)));
+        when(taskRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> task(id, dueAt)).toList();
+        });
+        scheduler.refill();
+
+        // Act
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.tick();
+
+        // Assert: два запроса и две отметки вместо трех, события несут срок из БД
+        verify(taskRepository, times(2)).findAllById(anyIterable());
+        verify(taskRepository, times(2)).markDueNotified(anyCollection(), eq(NOW.plusSeconds(1)));
+        verify(eventPublisher, times(3)).publishEvent(any(TaskDueEvent.class));
+        assertThat(scheduler.pendingTimers()).isZero();
+    }
+
+    @Test
+    void tick_whenTaskCompletedSinceArmed_shouldNotPublishEvent() {
+        // Arrange: задачу завершили, а таймер остался
+        Task task = task(1L, NOW.plusSeconds(1));
+        task.setCompleted(true);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class)))
+                .thenReturn(List.of(dueTask(1L, NOW.plusSeconds(1))));
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(task));
+        scheduler.refill();
+
+        // Act
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.tick();
+
+        // Assert
+        verify(taskRepository, never()).markDueNotified(anyCollection(), any());
+        verifyNoInteractions(eventPublisher);
+        assertThat(scheduler.pendingTimers()).isZero();
+    }
+
+    @Test
+    void tick_whenDueDateMovedSinceArmed_shouldArmNewDueDate() {
+        // Arrange: в колесе старый срок, в БД срок уже перенесен на 5 минут
+        LocalDateTime movedTo = NOW.plusMinutes(5);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class)))
+                .thenReturn(List.of(dueTask(1L, NOW.plusSeconds(1))));
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(task(1L, movedTo)));
+        scheduler.refill();
+
+        // Act
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.tick();
+
+        // Assert
+        verifyNoInteractions(eventPublisher);
+        assertThat(scheduler.pendingTimers()).isEqualTo(1);
+    }
+
+    @Test
+    void tick_whenListenerFails_shouldRetryWithStoredDueDate() {
+        // Arrange: слушатель падает один раз, задача не отмечается
+        LocalDateTime dueAt = NOW.plusSeconds(1);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class)))
+                .thenReturn(List.of(dueTask(1L, dueAt)));
+        when(taskRepository.findAllById(List.of(1L))).thenAnswer(invocation -> List.of(task(1L, dueAt)));
+        doThrow(new IllegalStateException("listener failed"))
+                .doNothing()
+                .when(eventPublisher).publishEvent(any(Object.class));
+        scheduler.refill();
+
+        // Act
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.tick();
+        verify(taskRepository, never()).markDueNotified(anyCollection(), any());
+        assertThat(scheduler.pendingTimers()).isEqualTo(1);
+        clock.advance(Duration.ofSeconds(5));
+        scheduler.tick();
+
+        // Assert: повторное событие несет исходный срок, а не время повтора
+        verify(eventPublisher, times(2)).publishEvent(new TaskDueEvent(1L, dueAt));
+        verify(taskRepository).markDueNotified(eq(List.of(1L)), any());
+        assertThat(scheduler.pendingTimers()).isZero();
+    }
+
+    @Test
+    void tick_whenOneListenerFails_shouldStampAndNotRedeliverBatchmates() {
+        // Arrange: три задачи с одним сроком в одной пачке, слушатель падает только на задаче 2
+        scheduler = new DueDateScheduler(taskRepository, eventPublisher, clock, 100, Duration.ofMinutes(10), 10);
+        LocalDateTime dueAt = NOW.plusSeconds(1);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class)))
+                .thenReturn(List.of(dueTask(1L, dueAt), dueTask(2L, dueAt), dueTask(3L, dueAt)));
+        when(taskRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> task(id, dueAt)).toList();
+        });
+        doAnswer(invocation -> {
+            if (invocation.<TaskDueEvent>getArgument(0).taskId() == 2L) {
+                throw new IllegalStateException("listener failed");
+            }
+            return null;
+        }).when(eventPublisher).publishEvent(any(Object.class));
+        scheduler.refill();
+
+        // Act
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.tick();
+
+        // Assert: отмечены только успешно доставленные, повторяется только задача 2
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> stamped = ArgumentCaptor.forClass(Collection.class);
+        verify(taskRepository).markDueNotified(stamped.capture(), any());
+        assertThat(stamped.getValue()).containsExactlyInAnyOrder(1L, 3L);
+        verify(eventPublisher).publishEvent(new TaskDueEvent(1L, dueAt));
+        verify(eventPublisher).publishEvent(new TaskDueEvent(3L, dueAt));
+        assertThat(scheduler.pendingTimers()).isEqualTo(1);
+    }
+
+    @Test
+    void tick_whenListenerKeepsFailing_shouldBackOffAndGiveUp() {
+        // Arrange
+        LocalDateTime dueAt = NOW.plusSeconds(1);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class)))
+                .thenReturn(List.of(dueTask(1L, dueAt)));
+        when(taskRepository.findAllById(List.of(1L))).thenAnswer(invocation -> List.of(task(1L, dueAt)));
+        doThrow(new IllegalStateException("listener failed")).when(eventPublisher).publishEvent(any(Object.class));
+        scheduler.refill();
+        clock.advance(Duration.ofSeconds(1));
+
+        // Act: повторы через 5, 10, 20 и 40 секунд; раньше срока повтора задача не срабатывает
+        scheduler.tick();
+        for (long delaySeconds : new long[]{5, 10, 20, 40}) {
+            clock.advance(Duration.ofSeconds(delaySeconds).minusMillis(100));
+            scheduler.tick();
+            assertThat(scheduler.pendingTimers()).isEqualTo(1);
+            clock.advance(Duration.ofMillis(100));
+            scheduler.tick();
+        }
+
+        // Assert: после пятой попытки задача снимается с колеса
+        verify(eventPublisher, times(5)).publishEvent(any(Object.class));
+        verify(taskRepository, never()).markDueNotified(anyCollection(), any());
+        assertThat(scheduler.pendingTimers()).isZero();
+    }
+
+    @Test
+    void tick_whenRepositoryFails_shouldRearmWholeTickOnce() {
+        // Arrange: три задачи, пачка по 2, база недоступна
+        LocalDateTime dueAt = NOW.plusSeconds(1);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class)))
+                .thenReturn(List.of(dueTask(1L, dueAt), dueTask(2L, dueAt)))
+                .thenReturn(List.of(dueTask(3L, dueAt)));
+        when(taskRepository.findAllById(anyIterable())).thenThrow(new IllegalStateException("connection refused"));
+        scheduler.refill();
+
+        // Act
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.tick();
+
+        // Assert: один запрос на весь тик, без попыток по одной задаче
+        verify(taskRepository, times(1)).findAllById(anyIterable());
+        verifyNoInteractions(eventPublisher);
+        assertThat(scheduler.pendingTimers()).isEqualTo(3);
+    }
+
+    @Test
+    void schedule_shouldArmOnlyTasksInsideLoadedWindow() {
+        // Arrange
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class))).thenReturn(List.of());
+        Task soon = task(1L, NOW.plusMinutes(5));
+        Task later = task(2L, NOW.plusDays(1));
+
+        // Act & Assert: до первой загрузки окна задачи подхватит refill
+        scheduler.schedule(soon);
+        assertThat(scheduler.pendingTimers()).isZero();
+
+        scheduler.refill();
+        scheduler.schedule(soon);
+        scheduler.schedule(later);
+        assertThat(scheduler.pendingTimers()).isEqualTo(1);
+
+        scheduler.cancel(1L);
+        assertThat(scheduler.pendingTimers()).isZero();
+    }
+
+    @Test
+    void schedule_whenStaleWriteArrivesLast_shouldNotLoseNewerDueDate() {
+        // Arrange: afterCommit-колбэки двух обновлений пришли в обратном порядке,
+        // последним применяется старое состояние "выполнена"
+        LocalDateTime dueAt = NOW.plusMinutes(1);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(task(1L, dueAt)));
+        Task stale = task(1L, NOW.plusSeconds(30));
+        stale.setCompleted(true);
+        scheduler.refill();
+
+        // Act
+        scheduler.schedule(task(1L, dueAt));
+        scheduler.schedule(stale);
+        clock.advance(Duration.ofMinutes(1));
+        scheduler.tick();
+
+        // Assert
+        verify(eventPublisher).publishEvent(new TaskDueEvent(1L, dueAt));
+    }
+
+    @Test
+    void schedule_whenDueDatePostponed_shouldFireOnlyAtNewDueDate() {
+        // Arrange: срок перенесли позже, в колесе остается более ранний таймер
+        LocalDateTime postponedTo = NOW.plusMinutes(2);
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(taskRepository.findAllById(List.of(1L))).thenReturn(List.of(task(1L, postponedTo)));
+        scheduler.refill();
+        scheduler.schedule(task(1L, NOW.plusMinutes(1)));
+        scheduler.schedule(task(1L, postponedTo));
+
+        // Act: ранний таймер перечитывает строку и перевзводится
+        clock.advance(Duration.ofMinutes(1));
+        scheduler.tick();
+        verifyNoInteractions(eventPublisher);
+        clock.advance(Duration.ofMinutes(1));
+        scheduler.tick();
+
+        // Assert
+        verify(eventPublisher).publishEvent(new TaskDueEvent(1L, postponedTo));
+        assertThat(scheduler.pendingTimers()).isZero();
+    }
+
+    @Test
+    void refill_whenQueryFails_shouldReloadWindowFromStart() {
+        // Arrange
+        when(taskRepository.findPendingDue(any(), anyLong(), any(), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(List.of());
+
+        // Act
+        scheduler.refill();
+        scheduler.refill();
+
+        // Assert: вторая попытка снова начинает с самого начала индекса
+        verify(taskRepository, times(2)).findPendingDue(eq(EPOCH), eq(0L), any(), any());
+    }
+
+    private static Task task(Long id, LocalDateTime dueAt) {
+        Task task = new Task(id, "Task " + id, false, NOW.minusDays(1));
+        task.setDueAt(dueAt);
+        return task;
+    }
+
+    private static TaskRepository.DueTask dueTask(Long id, LocalDateTime dueAt) {
+        return new TaskRepository.DueTask() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDueAt() {
+                return dueAt;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
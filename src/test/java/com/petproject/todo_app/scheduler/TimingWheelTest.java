@@ -0,0 +1,90 @@
+package com.petproject.todo_app.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private TimingWheel<Long> wheel;
+
+    @BeforeEach
+    void setUp() {
+        // 10 мс тик, 16 слотов на уровень, 3 уровня: емкость 4096 тиков (~41 с)
+        wheel = new TimingWheel<>(10, 4, 3, START);
+    }
+
+    @Test
+    void advance_shouldFireTimerOnlyAfterDeadline() {
+        wheel.schedule(1L, START + 25);
+
+        assertThat(wheel.advance(START + 24)).isEmpty();
+        List<TimingWheel.Expired<Long>> expired = wheel.advance(START + 30);
+
+        assertThat(expired).containsExactly(new TimingWheel.Expired<>(1L, START + 25));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_shouldCascadeTimersFromHigherLevels() {
+        wheel.schedule(1L, START + 5_000);   // второй уровень
+        wheel.schedule(2L, START + 30_000);  // третий уровень
+
+        assertThat(wheel.advance(START + 4_990)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).extracting(TimingWheel.Expired::key).containsExactly(1L);
+        assertThat(wheel.advance(START + 29_990)).isEmpty();
+        assertThat(wheel.advance(START + 30_000)).extracting(TimingWheel.Expired::key).containsExactly(2L);
+    }
+
+    @Test
+    void advance_shouldKeepTimersBeyondCapacityUntilTheirDeadline() {
+        wheel.schedule(1L, START + 100_000); // больше емкости колеса
+
+        assertThat(wheel.advance(START + 99_990)).isEmpty();
+        assertThat(wheel.advance(START + 100_000)).extracting(TimingWheel.Expired::key).containsExactly(1L);
+    }
+
+    @Test
+    void advance_shouldFireOverdueTimerOnNextTick() {
+        wheel.advance(START + 1_000);
+        wheel.schedule(1L, START);
+
+        assertThat(wheel.advance(START + 1_000)).isEmpty();
+        assertThat(wheel.advance(START + 1_010)).extracting(TimingWheel.Expired::key).containsExactly(1L);
+    }
+
+    @Test
+    void cancel_shouldRemoveTimer() {
+        wheel.schedule(1L, START + 50);
+        wheel.schedule(2L, START + 50);
+
+        assertThat(wheel.cancel(1L)).isTrue();
+        assertThat(wheel.cancel(1L)).isFalse();
+        assertThat(wheel.advance(START + 50)).extracting(TimingWheel.Expired::key).containsExactly(2L);
+    }
+
+    @Test
+    void schedule_shouldReplaceDeadlineOfExistingKey() {
+        wheel.schedule(1L, START + 50);
+        wheel.schedule(1L, START + 500);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 490)).isEmpty();
+        assertThat(wheel.advance(START + 500)).containsExactly(new TimingWheel.Expired<>(1L, START + 500));
+    }
+
+    @Test
+    void scheduleIfEarlier_shouldOnlyMoveDeadlineEarlier() {
+        wheel.schedule(1L, START + 500);
+
+        assertThat(wheel.scheduleIfEarlier(1L, START + 900)).isFalse();
+        assertThat(wheel.scheduleIfEarlier(1L, START + 50)).isTrue();
+        assertThat(wheel.scheduleIfEarlier(2L, START + 900)).isTrue();
+        assertThat(wheel.advance(START + 50)).containsExactly(new TimingWheel.Expired<>(1L, START + 50));
+    }
+}
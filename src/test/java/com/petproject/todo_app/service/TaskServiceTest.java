@@ -2,6 +2,7 @@ package com.petproject.todo_app.service;
 
 import com.petproject.todo_app.model.Task;
 import com.petproject.todo_app.repository.TaskRepository;
+import com.petproject.todo_app.scheduler.DueDateScheduler;
 import org.junit.jupiter.api.BeforeEach; // Для JUnit 5
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +26,9 @@ class TaskServiceTest {
     @Mock // Создает мок (подделку) для TaskRepository
     private TaskRepository taskRepository;
 
+    @Mock // Планировщик сроков: проверяем только, что сервис держит его в курсе изменений
+    private DueDateScheduler dueDateScheduler;
+
     @InjectMocks // Создает экземпляр TaskService и автоматически внедряет в него моки (@Mock)
     private TaskService taskService;
 
@@ -121,6 +125,8 @@ class TaskServiceTest {
 
         // Проверяем, что метод save был вызван 1 раз с объектом newTask (или эквивалентным ему)
         verify(taskRepository, times(1)).save(newTask);
+        // Планировщик получает сохраненную задачу (с ID)
+        verify(dueDateScheduler, times(1)).schedule(savedTask);
         // Можно использовать ArgumentCaptor для проверки переданного объекта детальнее, если нужно
     }
 
@@ -168,6 +174,29 @@ class TaskServiceTest {
                         savedTask.getDescription().equals("Updated Task One") &&
                         savedTask.getCompleted().equals(true)
         ));
+        verify(dueDateScheduler, times(1)).schedule(updatedTask);
+    }
+
+    @Test
+    void updateTask_whenDueAtChanged_shouldResetNotificationAndReschedule() {
+        // Arrange
+        Long taskId = 1L;
+        LocalDateTime newDueAt = LocalDateTime.now().plusDays(2);
+        task1.setDueAt(LocalDateTime.now().minusHours(1));
+        task1.setDueNotifiedAt(LocalDateTime.now().minusMinutes(59)); // Старый срок уже сработал
+        Task taskDetailsToUpdate = new Task(null, "Task One", false, null);
+        taskDetailsToUpdate.setDueAt(newDueAt);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task1));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Optional<Task> result = taskService.updateTask(taskId, taskDetailsToUpdate);
+
+        // Assert: новый срок сохранен, отметка об уведомлении сброшена, таймер перевзведен
+        assertThat(result).isPresent();
+        assertThat(result.get().getDueAt()).isEqualTo(newDueAt);
+        assertThat(result.get().getDueNotifiedAt()).isNull();
+        verify(dueDateScheduler, times(1)).schedule(task1);
     }
 
     @Test
@@ -188,6 +217,7 @@ class TaskServiceTest {
         // Проверяем, что findById вызывался, а save - нет
         verify(taskRepository, times(1)).findById(taskId);
         verify(taskRepository, never()).save(any(Task.class));
+        verify(dueDateScheduler, never()).schedule(any(Task.class));
     }
 
 
@@ -209,6 +239,8 @@ class TaskServiceTest {
         // Проверяем, что оба метода репозитория были вызваны
         verify(taskRepository, times(1)).existsById(taskId);
         verify(taskRepository, times(1)).deleteById(taskId);
+        // Таймер удаленной задачи отменяется
+        verify(dueDateScheduler, times(1)).cancel(taskId);
     }
 
     @Test
@@ -227,5 +259,6 @@ class TaskServiceTest {
         // Проверяем, что existsById вызывался, а deleteById - нет
         verify(taskRepository, times(1)).existsById(taskId);
         verify(taskRepository, never()).deleteById(taskId); // Убедимся, что deleteById не вызывался
+        verify(dueDateScheduler, never()).cancel(anyLong());
     }
 }
\ No newline at end of file